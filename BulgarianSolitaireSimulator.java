@@ -10,12 +10,16 @@
    2) -u (User Input)  : User provides initial configuration, no single step - entire output displayed in one go
    3) -u -s / -s -u (User Input and Single Step) : User enters input and single step 
    4) <none> : Random initial configuration, no single step
+   5) -sweep <N> [file] : Plays every initial configuration of every card total from 1 to N and writes
+                          a CSV table of rounds-to-fixpoint / cycle entry times to file (or console). See SolitaireSweep
    
    Demonstrates method decompostion as part of procedural design
 */
 
 import java.util.Scanner;
 import java.util.ArrayList;
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
 
 public class BulgarianSolitaireSimulator {
    
@@ -23,6 +27,8 @@ public class BulgarianSolitaireSimulator {
      
       boolean singleStep = false;
       boolean userConfig = false;
+      int sweepLimit = 0;                                          // Largest card total to sweep, 0 if not in -sweep mode
+      String sweepFile = null;                                     // CSV file for -sweep mode, null to print on console
       int j = 1;                                                   // Variable used while printing configuration on console 
       
                                  
@@ -38,6 +44,21 @@ public class BulgarianSolitaireSimulator {
             singleStep = true;
          }
          
+         else if (args[i].equals("-sweep")) {
+            sweepLimit = sweepLimitArg(args, i + 1);
+            i ++;
+            
+            if (i + 1 < args.length && !args[i + 1].startsWith("-")) {
+               sweepFile = args[i + 1];
+               i ++;
+            }
+         }
+         
+      }
+      
+      if (sweepLimit > 0) {                                         // Checks if -sweep mode. Runs on its own, no board is played on console
+         runSweep(sweepLimit, sweepFile);
+         return;
       }
             
       if (userConfig && !singleStep) {                              // Checks if -u (User Input) mode
@@ -91,6 +112,63 @@ public class BulgarianSolitaireSimulator {
    
          
          
+   /**
+      Reads the card total limit following -sweep. Displays error message and exits if it is
+      missing or not a positive integer.
+      
+      @Param : args  - command-line arguments
+               index - position of the limit in args
+   */
+   private static int sweepLimitArg(String[] args, int index) {
+      
+      int limit = 0;
+      
+      if (index < args.length && args[index].matches("\\d+")) {
+         limit = Integer.parseInt(args[index]);
+      }
+      
+      if (limit <= 0) {
+         System.out.println ("ERROR: -sweep must be followed by a positive integer, e.g. -sweep 45 sweep.csv");
+         System.exit(1);
+      }
+      
+      return limit;
+   }
+   
+   
+   
+   
+   
+   /**
+      Runs SolitaireSweep for totals 1 to limit, writing CSV rows to fileName or to the console if
+      fileName is null. Displays error message if the file can't be created.
+   */
+   private static void runSweep(int limit, String fileName) {
+      
+      try {
+         PrintWriter out = (fileName == null) ? new PrintWriter(System.out) : new PrintWriter(fileName);
+         SolitaireSweep.sweep(limit, out);
+         
+         if (fileName != null) {
+            out.close();
+            System.out.println ("Sweep of totals 1 to " + limit + " written to " + fileName);
+         }
+      }
+      
+      catch (FileNotFoundException e) {
+         System.out.println ("ERROR: Could not create file " + fileName);
+      }
+      
+      catch (InterruptedException e) {
+         System.out.println ("ERROR: Sweep interrupted");
+      }
+      
+   }
+   
+   
+   
+   
+   
    /**
       Prompts user to input initial configuration in -u and -u -s/-s -u modes
       Performs checks for non - negative, non-zero integers that sum to CARD_TOTAL - in subsequent steps
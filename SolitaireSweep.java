@@ -0,0 +1,328 @@
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/*
+   class SolitaireSweep
+   Runs Bulgarian Solitaire over every starting configuration of every card total from 1 up to a
+   limit N and writes one CSV row per total. Used by BulgarianSolitaireSimulator in -sweep mode.
+
+   Applies the same round rule as SolitaireBoard.playRound(), but SolitaireBoard is fixed at
+   CARD_TOTAL and prints while it plays, so the sweep keeps its own silent copy of the rule that
+   works for any total. Pile order never changes the outcome of a round, so configurations are
+   kept as piles sorted largest first and each one is a partition of the total.
+
+   Columns written:
+   total, triangular, configurations, max_rounds_to_fixpoint, mean_rounds_to_fixpoint, max_cycle_entry
+   The rounds-to-fixpoint columns are left empty for totals that are not triangular, since those
+   games never terminate and only settle into a cycle.
+*/
+
+
+public class SolitaireSweep {
+
+   private static final String CSV_HEADER =
+      "total,triangular,configurations,max_rounds_to_fixpoint,mean_rounds_to_fixpoint,max_cycle_entry";
+
+
+
+   /**
+      Sweeps every total from 1 to limit and writes a CSV row to out as soon as each total is finished,
+      so rows appear in completion order rather than in order of total.
+
+      Each total is split into one sub-task per largest pile size. Sub-tasks are handed to a work-stealing
+      pool most expensive first, so the long runs for the biggest totals start straight away and the
+      small ones fill in the gaps on idle threads.
+
+      @Param : limit - largest card total to sweep (must be at least 1)
+               out   - destination of the CSV rows, flushed after every row
+   */
+   public static void sweep(int limit, PrintWriter out) throws InterruptedException {        // Total no. of lines : 16
+
+      long [][] atMost = partitionCounts(limit);
+      ArrayList<SweepTask> tasks = new ArrayList<SweepTask>();
+
+      for (int total = 1; total <= limit; total++) {
+
+         TotalResult result = new TotalResult(total, total);                    // One sub-task for every largest pile 1 .. total
+
+         for (int largest = 1; largest <= total; largest++) {
+            tasks.add(new SweepTask(result, largest, atMost[total - largest][largest], out));
+         }
+
+      }
+
+      // Most expensive sub-tasks go first so they are never the ones left running on a single thread at the end
+      Collections.sort(tasks, new Comparator<SweepTask>() {
+         public int compare(SweepTask a, SweepTask b) {
+            return Long.compare(b.estimatedCost, a.estimatedCost);
+         }
+      });
+
+      out.println(CSV_HEADER);
+      out.flush();
+
+      ExecutorService pool = Executors.newWorkStealingPool();
+
+      for (SweepTask task : tasks) {
+         pool.execute(task);
+      }
+
+      pool.shutdown();
+      pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+
+   }
+
+
+
+
+
+   /**
+      Plays one round on piles sorted largest first and padded with zeros on the right.
+      Takes one card from each pile and adds a new pile holding those cards, keeping the piles sorted.
+      This is the rule of SolitaireBoard.playRound() with pile order ignored.
+   */
+   static void playRound(int[] piles) {                                                     // Total no. of lines : 10
+
+      int newPile = 0;
+
+      while (newPile < piles.length && piles[newPile] > 0) {                    // Decrementing keeps the piles sorted
+         piles[newPile] --;
+         newPile ++;
+      }
+
+      int remaining = newPile;                                                  // Piles that emptied are now at the end of the list
+
+      while (remaining > 0 && piles[remaining - 1] == 0) {
+         remaining --;
+      }
+
+      int i = remaining;
+
+      while (i > 0 && piles[i - 1] < newPile) {                                 // Shifting smaller piles right to make room for the new pile
+         piles[i] = piles[i - 1];
+         i --;
+      }
+
+      piles[i] = newPile;
+
+   }
+
+
+
+
+
+   /**
+      Returns the number of rounds played from start before the game first reaches a configuration
+      that repeats (the cycle entry time). For a triangular total this is the number of rounds until
+      the final configuration 1, 2, . . . , n is reached, as that configuration maps to itself.
+
+      Uses Floyd's cycle detection so no configurations need to be stored. slow and fast are scratch
+      arrays the same length as start; start is left unchanged.
+   */
+   static int cycleEntry(int[] start, int[] slow, int[] fast) {                             // Total no. of lines : 14
+
+      System.arraycopy(start, 0, slow, 0, start.length);
+      System.arraycopy(start, 0, fast, 0, start.length);
+
+      do {                                                                      // fast plays two rounds for every round of slow until they meet in the cycle
+         playRound(slow);
+         playRound(fast);
+         playRound(fast);
+      } while (!Arrays.equals(slow, fast));
+
+      // Restarting slow from the beginning, both now meet at the first configuration of the cycle
+      System.arraycopy(start, 0, slow, 0, start.length);
+      int entry = 0;
+
+      while (!Arrays.equals(slow, fast)) {
+         playRound(slow);
+         playRound(fast);
+         entry ++;
+      }
+
+      return entry;
+
+   }
+
+
+
+
+
+   /**
+      Returns true iff total is 1 + 2 + . . . + k for some k, i.e. a total for which the game terminates.
+   */
+   static boolean isTriangular(int total) {
+
+      int k = (int) ((Math.sqrt(8.0 * total + 1) - 1) / 2);
+
+      return k * (k + 1) / 2 == total;
+
+   }
+
+
+
+
+
+   /**
+      Returns a table where atMost[m][k] is the number of ways to split m cards into piles of at most
+      k cards each (order ignored). The number of configurations of total whose largest pile is
+      exactly k is then atMost[total - k][k]. Used to estimate the cost of each sub-task.
+   */
+   static long[][] partitionCounts(int limit) {                                             // Total no. of lines : 7
+
+      long [][] atMost = new long [limit + 1][limit + 1];
+
+      for (int k = 0; k <= limit; k++) {
+         atMost[0][k] = 1;
+      }
+
+      for (int m = 1; m <= limit; m++) {
+
+         for (int k = 1; k <= limit; k++) {
+            atMost[m][k] = atMost[m][k - 1] + (m >= k ? atMost[m - k][k] : 0);
+         }
+
+      }
+
+      return atMost;
+
+   }
+
+
+
+
+
+   /**
+      Collects the results of all sub-tasks of one total and writes its CSV row once the last one reports in.
+   */
+   private static class TotalResult {
+
+      private final int total;
+      private int pendingTasks;
+      private long configurations = 0;
+      private long sumOfEntries = 0;
+      private int maxEntry = 0;
+
+
+      TotalResult(int total, int pendingTasks) {
+         this.total = total;
+         this.pendingTasks = pendingTasks;
+      }
+
+
+      /**
+         Adds the results of one finished sub-task. Returns the CSV row if this was the last
+         sub-task of the total, otherwise null.
+      */
+      synchronized String add(long taskConfigurations, long taskSumOfEntries, int taskMaxEntry) {     // Total no. of lines : 8
+
+         configurations += taskConfigurations;
+         sumOfEntries += taskSumOfEntries;
+         maxEntry = Math.max(maxEntry, taskMaxEntry);
+         pendingTasks --;
+
+         if (pendingTasks > 0) {
+            return null;
+         }
+
+         if (isTriangular(total)) {
+            double mean = (double) sumOfEntries / configurations;
+            return total + ",true," + configurations + "," + maxEntry + "," + String.format(Locale.ROOT, "%.4f", mean) + "," + maxEntry;
+         }
+
+         return total + ",false," + configurations + ",,," + maxEntry;
+
+      }
+
+   }
+
+
+
+
+
+   /**
+      Sub-task covering every configuration of one total whose largest pile holds exactly 'largest' cards.
+      Estimated cost is the number of such configurations times the total, as the number of rounds
+      played per configuration grows with the total.
+   */
+   private static class SweepTask implements Runnable {
+
+      private final TotalResult result;
+      private final int largest;
+      private final long estimatedCost;
+      private final PrintWriter out;
+
+      private final int [] piles;                                               // Configuration being built, sorted largest first, zero padded
+      private final int [] slow;
+      private final int [] fast;
+
+      private long configurations = 0;
+      private long sumOfEntries = 0;
+      private int maxEntry = 0;
+
+
+      SweepTask(TotalResult result, int largest, long configurations, PrintWriter out) {
+         this.result = result;
+         this.largest = largest;
+         this.estimatedCost = configurations * result.total;
+         this.out = out;
+         this.piles = new int [result.total];
+         this.slow = new int [result.total];
+         this.fast = new int [result.total];
+      }
+
+
+      public void run() {                                                                   // Total no. of lines : 8
+
+         piles[0] = largest;
+         fillPiles(1, result.total - largest, largest);
+
+         String row = result.add(configurations, sumOfEntries, maxEntry);
+
+         if (row != null) {
+
+            synchronized (out) {
+               out.println(row);
+               out.flush();
+            }
+
+         }
+
+      }
+
+
+      /**
+         Builds every way of placing cardsLeft cards into piles of at most maxPile cards from position
+         index onwards, and plays each finished configuration to its cycle entry.
+      */
+      private void fillPiles(int index, int cardsLeft, int maxPile) {                      // Total no. of lines : 10
+
+         if (cardsLeft == 0) {
+
+            int entry = cycleEntry(piles, slow, fast);
+            configurations ++;
+            sumOfEntries += entry;
+            maxEntry = Math.max(maxEntry, entry);
+            return;
+
+         }
+
+         for (int pile = Math.min(maxPile, cardsLeft); pile >= 1; pile--) {
+            piles[index] = pile;
+            fillPiles(index + 1, cardsLeft - pile, pile);
+         }
+
+         piles[index] = 0;                                                      // Keeping positions past the current pile zero for the next configuration
+
+      }
+
+   }
+
+}